@@ -0,0 +1,100 @@
+package it.polyatskovun.admission;
+
+import it.polyatskovun.aop.AdmissionControl;
+import it.polyatskovun.config.AdmissionProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/admission} shows the current limits, {@code POST /actuator/admission/{operation}}
+ * changes the limits of one operation. The reserved operation name {@code client} changes the
+ * per-client rate limit. Omitted values keep their current setting; operations that are not
+ * {@link AdmissionControl} methods of a controller are rejected with 400.
+ */
+@Component
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionEndpoint implements SmartInitializingSingleton {
+
+    private static final String CLIENT = "client";
+
+    private final AdmissionProperties properties;
+    private final AdmissionRegistry registry;
+    private final ApplicationContext applicationContext;
+
+    private Set<String> operations = Set.of();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        operations = applicationContext.getBeansWithAnnotation(RestController.class)
+                .values()
+                .stream()
+                .map(AopUtils::getTargetClass)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> AnnotatedElementUtils.hasAnnotation(method, AdmissionControl.class))
+                .map(Method::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @ReadOperation
+    public AdmissionProperties limits() {
+        return properties;
+    }
+
+    @WriteOperation
+    public Object configure(
+            @Selector String operation,
+            @Nullable Double permitsPerSecond,
+            @Nullable Integer burst,
+            @Nullable Integer maxConcurrent,
+            @Nullable Long maxQueueTimeMillis
+    ) {
+        if (CLIENT.equals(operation)) {
+            AdmissionProperties.RateLimit limit = properties.getClient();
+            if (permitsPerSecond != null) {
+                limit.setPermitsPerSecond(permitsPerSecond);
+            }
+            if (burst != null) {
+                limit.setBurst(burst);
+            }
+            registry.reconfigureClients();
+            return limit;
+        }
+        if (!operations.contains(operation)) {
+            throw new InvalidEndpointRequestException("Unknown operation: " + operation, "Unknown operation");
+        }
+        AdmissionProperties.OperationLimit limit = properties.getOperations()
+                .computeIfAbsent(operation, key -> properties.getDefaultOperation().copy());
+        if (permitsPerSecond != null) {
+            limit.setPermitsPerSecond(permitsPerSecond);
+        }
+        if (burst != null) {
+            limit.setBurst(burst);
+        }
+        if (maxConcurrent != null) {
+            limit.setMaxConcurrent(maxConcurrent);
+        }
+        if (maxQueueTimeMillis != null) {
+            limit.setMaxQueueTime(Duration.ofMillis(maxQueueTimeMillis));
+        }
+        registry.reconfigure(operation);
+        return limit;
+    }
+}
@@ -0,0 +1,111 @@
+package it.polyatskovun.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import it.polyatskovun.config.AdmissionProperties;
+import it.polyatskovun.exception.ServiceUnavailableException;
+import it.polyatskovun.exception.TooManyRequestsException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionRegistry {
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> routeBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * Admits a call or throws {@link TooManyRequestsException} when a rate limit is exceeded
+     * and {@link ServiceUnavailableException} when no bulkhead slot frees up within the queue time.
+     * The client is checked first, so a client over its limit is rejected before it spends shared
+     * route tokens or waits for a bulkhead slot. Client buckets are kept per operation, so a flood of
+     * one operation does not starve the client's other ones.
+     * The returned bulkhead must be released once the call completes.
+     */
+    public Bulkhead admit(String operation, String client) {
+        if (!clientBucket(client, operation).tryAcquire()) {
+            reject(operation, "client_rate_limited");
+            throw new TooManyRequestsException();
+        }
+        if (!routeBucket(operation).tryAcquire()) {
+            reject(operation, "route_rate_limited");
+            throw new TooManyRequestsException();
+        }
+        Bulkhead bulkhead = bulkhead(operation);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(properties.operation(operation).getMaxQueueTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        meterRegistry.timer("admission.queue.time", "operation", operation)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            reject(operation, "shed");
+            throw new ServiceUnavailableException();
+        }
+        meterRegistry.counter("admission.requests", "operation", operation, "outcome", "admitted").increment();
+        return bulkhead;
+    }
+
+    public void reconfigureClients() {
+        AdmissionProperties.RateLimit limit = properties.getClient();
+        clientBuckets.values().forEach(bucket -> bucket.reconfigure(limit.getPermitsPerSecond(), limit.getBurst()));
+        log.info("Client rate limit reconfigured - {}", limit);
+    }
+
+    public void reconfigure(String operation) {
+        AdmissionProperties.OperationLimit limit = properties.operation(operation);
+        TokenBucket bucket = routeBuckets.get(operation);
+        if (bucket != null) {
+            bucket.reconfigure(limit.getPermitsPerSecond(), limit.getBurst());
+        }
+        Bulkhead bulkhead = bulkheads.get(operation);
+        if (bulkhead != null) {
+            bulkhead.resize(limit.getMaxConcurrent());
+        }
+        log.info("Admission limits of {} reconfigured - {}", operation, limit);
+    }
+
+    private TokenBucket clientBucket(String client, String operation) {
+        return clientBuckets.computeIfAbsent(client + "|" + operation, key -> {
+            AdmissionProperties.RateLimit limit = properties.getClient();
+            return new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst());
+        });
+    }
+
+    private TokenBucket routeBucket(String operation) {
+        return routeBuckets.computeIfAbsent(operation, key -> {
+            AdmissionProperties.OperationLimit limit = properties.operation(key);
+            return new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst());
+        });
+    }
+
+    private Bulkhead bulkhead(String operation) {
+        return bulkheads.computeIfAbsent(operation, key -> {
+            Bulkhead bulkhead = new Bulkhead(properties.operation(key).getMaxConcurrent());
+            Gauge.builder("admission.in.flight", bulkhead, Bulkhead::inFlight)
+                    .tag("operation", key)
+                    .register(meterRegistry);
+            return bulkhead;
+        });
+    }
+
+    private void reject(String operation, String outcome) {
+        meterRegistry.counter("admission.requests", "operation", operation, "outcome", outcome).increment();
+        log.debug("Request to {} rejected - {}", operation, outcome);
+    }
+}
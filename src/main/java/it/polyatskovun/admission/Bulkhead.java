@@ -0,0 +1,60 @@
+package it.polyatskovun.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one operation. The limit can be resized while permits are held.
+ */
+public class Bulkhead {
+
+    private final ResizableSemaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int limit;
+
+    public Bulkhead(int limit) {
+        this.limit = limit;
+        this.permits = new ResizableSemaphore(limit);
+    }
+
+    public boolean tryAcquire(Duration maxQueueTime) throws InterruptedException {
+        if (!permits.tryAcquire(maxQueueTime.toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized void resize(int newLimit) {
+        int delta = newLimit - limit;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+        limit = newLimit;
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package it.polyatskovun.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA: the whole state is the theoretical
+ * arrival time of the next request, advanced with a single CAS per permit.
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+    private volatile long intervalNanos;
+    private volatile long toleranceNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        reconfigure(permitsPerSecond, burst);
+    }
+
+    public void reconfigure(double permitsPerSecond, int burst) {
+        long interval = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        toleranceNanos = interval * Math.max(burst, 1);
+        intervalNanos = interval;
+    }
+
+    public boolean tryAcquire() {
+        long interval = intervalNanos;
+        if (interval == 0) {
+            return true;
+        }
+        long tolerance = toleranceNanos;
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + interval;
+            if (next - now > tolerance) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+}
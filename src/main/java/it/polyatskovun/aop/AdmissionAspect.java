@@ -0,0 +1,53 @@
+package it.polyatskovun.aop;
+
+import it.polyatskovun.admission.AdmissionRegistry;
+import it.polyatskovun.admission.Bulkhead;
+import it.polyatskovun.config.AdmissionProperties;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Runs before any other aspect so that rejected calls cost as little as possible.
+ */
+@Component
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AdmissionAspect {
+
+    private final AdmissionProperties properties;
+    private final AdmissionRegistry registry;
+
+    @Around("@annotation(it.polyatskovun.aop.AdmissionControl)")
+    public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Bulkhead bulkhead = registry.admit(joinPoint.getSignature().getName(), currentClient());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return "anonymous";
+    }
+}
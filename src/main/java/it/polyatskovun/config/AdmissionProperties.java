@@ -0,0 +1,68 @@
+package it.polyatskovun.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control limits. Operations are keyed by {@code ProductController}
+ * method name; operations without an entry use {@link #defaultOperation}.
+ * Limits can be changed at runtime through the {@code admission} actuator endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private int maxPageSize = 100;
+
+    /**
+     * Rate limit of one client on one operation. Kept below the route limits, so a single client
+     * cannot use up a route on its own.
+     */
+    private RateLimit client = new RateLimit(10, 20);
+
+    private OperationLimit defaultOperation = new OperationLimit(500, 1000, 20, Duration.ofMillis(50));
+
+    private Map<String, OperationLimit> operations = new ConcurrentHashMap<>();
+
+    public OperationLimit operation(String name) {
+        return operations.getOrDefault(name, defaultOperation);
+    }
+
+    /**
+     * Token bucket refilled at {@code permitsPerSecond}, holding at most {@code burst} tokens.
+     * A non-positive rate disables the limit.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateLimit {
+        private double permitsPerSecond;
+        private int burst;
+    }
+
+    /**
+     * Rate limit of a route plus its bulkhead: at most {@code maxConcurrent} calls in flight,
+     * callers waiting longer than {@code maxQueueTime} for a slot are shed.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OperationLimit {
+        private double permitsPerSecond;
+        private int burst;
+        private int maxConcurrent;
+        private Duration maxQueueTime;
+
+        public OperationLimit copy() {
+            return new OperationLimit(permitsPerSecond, burst, maxConcurrent, maxQueueTime);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package it.polyatskovun.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the generated data set used by the {@code scale} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "scale")
+public class ScaleProperties {
+
+    /**
+     * Total number of rows the products table is filled up to on startup.
+     */
+    private long rows;
+
+    private long seed = 42;
+
+    /**
+     * Rows per multi-row {@code INSERT} statement.
+     */
+    private int rowsPerStatement = 500;
+
+    /**
+     * Multi-row statements sent per JDBC batch.
+     */
+    private int statementsPerBatch = 20;
+
+    private int categories = 200;
+
+    /**
+     * Zipf exponent of the category distribution; higher values concentrate rows in fewer categories.
+     */
+    private double skew = 1.1;
+}
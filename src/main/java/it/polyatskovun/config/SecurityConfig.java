@@ -28,7 +28,7 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable);
 
         http.authorizeHttpRequests((authorize) -> {
-                    authorize.requestMatchers("/swagger-ui/*", "/v3/api-docs")
+                    authorize.requestMatchers("/swagger-ui/*", "/v3/api-docs", "/actuator/health/**")
                             .permitAll();
                     authorize.anyRequest()
                             .authenticated();
@@ -0,0 +1,42 @@
+package it.polyatskovun.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "startup")
+public class StartupProperties {
+
+    private Warmup warmup = new Warmup();
+
+    private SteadyState steadyState = new SteadyState();
+
+    /**
+     * Cache warm-up from the hot-key snapshot written at the previous shutdown.
+     */
+    @Data
+    public static class Warmup {
+        private boolean enabled = true;
+        private String snapshotFile = "data/hot-keys.json";
+        private int topIds = 200;
+        private int topCategories = 20;
+        private int parallelism = 4;
+        private Duration timeout = Duration.ofSeconds(30);
+        /**
+         * Distinct keys kept per kind; 10% more are tracked before the coldest keys are dropped.
+         */
+        private int maxTrackedKeys = 10_000;
+    }
+
+    /**
+     * Steady state is reached when the p99 of two consecutive windows of {@code window} requests
+     * differs by at most {@code tolerance}.
+     */
+    @Data
+    public static class SteadyState {
+        private int window = 200;
+        private double tolerance = 0.1;
+    }
+}
@@ -0,0 +1,30 @@
+package it.polyatskovun.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Opt-in write-behind for product updates. Queued updates are lost if the process dies between
+ * flushes; a longer {@code flushInterval} coalesces more updates but widens that window.
+ * Pending updates are always flushed on graceful shutdown.
+ */
+@Data
+@ConfigurationProperties(prefix = "write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Products updated per flush transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Pending products at which the updating caller flushes synchronously instead of waiting for the interval.
+     */
+    private int maxPending = 10_000;
+}
@@ -2,17 +2,21 @@ package it.polyatskovun.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import it.polyatskovun.aop.AdmissionControl;
 import it.polyatskovun.aop.LogMethod;
+import it.polyatskovun.config.AdmissionProperties;
 import it.polyatskovun.dto.CreateProductRequest;
+import it.polyatskovun.dto.PageResponse;
 import it.polyatskovun.dto.ProductResponse;
 import it.polyatskovun.dto.UpdateProductRequest;
+import it.polyatskovun.exception.BadRequestException;
 import it.polyatskovun.exception.ProductNotFoundException;
 import it.polyatskovun.mapper.ProductMapper;
 import it.polyatskovun.model.Product;
 import it.polyatskovun.service.ProductService;
+import it.polyatskovun.startup.HotKeyTracker;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -35,31 +39,40 @@ public class ProductController {
 
     private final ProductService service;
     private final ProductMapper mapper;
+    private final AdmissionProperties admissionProperties;
+    private final HotKeyTracker hotKeyTracker;
 
     @Operation(summary = "List products", description = "Get paginated list of products")
     @GetMapping
     @LogMethod
-    public Page<ProductResponse> getAll(
+    @AdmissionControl
+    public PageResponse<ProductResponse> getAll(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ) {
+        if (page < 0 || size < 1 || size > admissionProperties.getMaxPageSize()) {
+            throw new BadRequestException();
+        }
         PageRequest pageRequest = PageRequest.of(page, size);
-        return service.findAll(pageRequest)
-                .map(mapper::toResponse);
+        return PageResponse.of(service.findAll(pageRequest)
+                .map(mapper::toResponse));
     }
 
     @Operation(summary = "Get product by ID", description = "Retrieve a single product by its ID")
     @GetMapping("/{id}")
     @LogMethod
+    @AdmissionControl
     public ProductResponse getById(@PathVariable Long id) {
-        return service.findById(id)
-                .map(mapper::toResponse)
+        Product product = service.findById(id)
                 .orElseThrow(ProductNotFoundException::new);
+        hotKeyTracker.recordId(id);
+        return mapper.toResponse(product);
     }
 
     @Operation(summary = "Create product")
     @PostMapping
     @LogMethod
+    @AdmissionControl
     public ProductResponse create(@Valid @RequestBody CreateProductRequest request) {
         Product model = mapper.toModel(request);
         Product saved = service.create(model);
@@ -69,6 +82,7 @@ public class ProductController {
     @Operation(summary = "Update product")
     @PutMapping("/{id}")
     @LogMethod
+    @AdmissionControl
     public ProductResponse update(
             @PathVariable Long id,
             @Valid @RequestBody UpdateProductRequest request
@@ -81,10 +95,8 @@ public class ProductController {
     @Operation(summary = "Delete product")
     @DeleteMapping("/{id}")
     @LogMethod
+    @AdmissionControl
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (service.findById(id).isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
@@ -92,9 +104,13 @@ public class ProductController {
     @Operation(summary = "List products by category")
     @GetMapping("/category/{category}")
     @LogMethod
+    @AdmissionControl
     public List<ProductResponse> getByCategory(@PathVariable String category) {
-        return service.findByCategory(category)
-                .stream()
+        List<Product> products = service.findByCategory(category);
+        if (!products.isEmpty()) {
+            hotKeyTracker.recordCategory(category);
+        }
+        return products.stream()
                 .map(mapper::toResponse)
                 .toList();
     }
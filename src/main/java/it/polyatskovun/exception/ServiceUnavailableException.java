@@ -0,0 +1,8 @@
+package it.polyatskovun.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE, reason = "Service is overloaded!")
+public class ServiceUnavailableException extends RuntimeException {
+}
@@ -0,0 +1,8 @@
+package it.polyatskovun.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many requests!")
+public class TooManyRequestsException extends RuntimeException {
+}
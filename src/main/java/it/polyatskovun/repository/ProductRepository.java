@@ -2,6 +2,9 @@ package it.polyatskovun.repository;
 
 import it.polyatskovun.entity.ProductEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,8 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
     List<ProductEntity> findAllByCategory(String category);
+
+    @Modifying
+    @Query("delete from ProductEntity p where p.id = :id")
+    int deleteProductById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package it.polyatskovun.scale;
+
+import it.polyatskovun.config.ScaleProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads reproducible products through batched multi-row inserts. Row {@code n} is always
+ * generated from the same seed, so a table filled in several steps holds the same data as one
+ * filled at once. Categories follow a Zipf distribution: {@code Category-000} is the hottest.
+ */
+@Slf4j
+@Component
+@Profile("scale")
+@RequiredArgsConstructor
+public class ProductDataGenerator {
+
+    private static final String INSERT = "INSERT INTO products (name, description, price, category, stock, created_date, last_updated_date) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 7;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScaleProperties properties;
+
+    /**
+     * Appends generated rows until the products table holds {@code targetRows} rows.
+     *
+     * @return number of rows inserted
+     */
+    public long generate(long targetRows) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        long start = existing == null ? 0 : existing;
+        if (start >= targetRows) {
+            return 0;
+        }
+        log.info("Start generating products - {} to {} rows", start, targetRows);
+        long startTime = System.currentTimeMillis();
+        String[] categories = categories();
+        double[] distribution = zipf(categories.length, properties.getSkew());
+        int rowsPerStatement = properties.getRowsPerStatement();
+        String fullStatement = statement(rowsPerStatement);
+
+        List<Object[]> batch = new ArrayList<>(properties.getStatementsPerBatch());
+        long row = start;
+        while (row < targetRows) {
+            int rows = (int) Math.min(rowsPerStatement, targetRows - row);
+            Object[] args = new Object[rows * COLUMNS];
+            for (int i = 0; i < rows; i++) {
+                fillRow(row + i, args, i * COLUMNS, categories, distribution);
+            }
+            row += rows;
+            if (rows < rowsPerStatement) {
+                flush(fullStatement, batch);
+                jdbcTemplate.update(statement(rows), args);
+            } else {
+                batch.add(args);
+                if (batch.size() == properties.getStatementsPerBatch()) {
+                    flush(fullStatement, batch);
+                }
+            }
+        }
+        flush(fullStatement, batch);
+
+        long duration = Math.max(System.currentTimeMillis() - startTime, 1);
+        long inserted = targetRows - start;
+        log.info("Generated {} products in {} ms ({} rows/s)", inserted, duration, inserted * 1000 / duration);
+        return inserted;
+    }
+
+    private void flush(String statement, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(statement, batch);
+            batch.clear();
+        }
+    }
+
+    private void fillRow(long row, Object[] args, int offset, String[] categories, double[] distribution) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + row * GOLDEN_GAMMA);
+        LocalDateTime created = EPOCH.plusSeconds(random.nextLong(365L * 24 * 60 * 60));
+        args[offset] = "Product " + row;
+        args[offset + 1] = "Generated product " + row;
+        args[offset + 2] = BigDecimal.valueOf(random.nextLong(50, 100_000), 2);
+        args[offset + 3] = categories[category(random.nextDouble(), distribution)];
+        args[offset + 4] = random.nextInt(1_000);
+        args[offset + 5] = Timestamp.valueOf(created);
+        args[offset + 6] = Timestamp.valueOf(created.plusSeconds(random.nextLong(30L * 24 * 60 * 60)));
+    }
+
+    private String[] categories() {
+        String[] categories = new String[properties.getCategories()];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = String.format("Category-%03d", i);
+        }
+        return categories;
+    }
+
+    private static String statement(int rows) {
+        return INSERT + String.join(", ", Collections.nCopies(rows, ROW));
+    }
+
+    /**
+     * Cumulative Zipf distribution over {@code size} ranks.
+     */
+    private static double[] zipf(int size, double skew) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int category(double sample, double[] distribution) {
+        int index = Arrays.binarySearch(distribution, sample);
+        return Math.min(index >= 0 ? index : -index - 1, distribution.length - 1);
+    }
+}
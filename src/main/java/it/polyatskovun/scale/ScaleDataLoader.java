@@ -0,0 +1,29 @@
+package it.polyatskovun.scale;
+
+import it.polyatskovun.config.ScaleProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the file-backed scale database up to {@code scale.rows} on startup. Rows already present
+ * from an earlier run are kept. Runs before the other runners, in particular the cache warm-up.
+ */
+@Component
+@Profile("scale")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ScaleDataLoader implements ApplicationRunner {
+
+    private final ProductDataGenerator generator;
+    private final ScaleProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(properties.getRows());
+    }
+}
@@ -15,9 +15,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -26,6 +30,8 @@ public class ProductService {
 
     private final ProductRepository repository;
     private final ProductMapper mapper;
+    private final ProductWriteBehindBuffer writeBehind;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     @CacheEvict(value = "products", key = "#product.category")
@@ -41,53 +47,95 @@ public class ProductService {
         return saved;
     }
 
-    @Transactional
+    /**
+     * Not {@code @Transactional}: a queued update may flush the write-behind buffer, which must commit
+     * its batches on its own. Direct updates run in a transaction of their own.
+     */
     @Caching(evict = {
             @CacheEvict(value = "product", key = "#product.id"),
             @CacheEvict(value = "products", key = "#product.category")
     })
     public Product update(Product product) {
-        ProductEntity productEntity = Optional.ofNullable(product.id())
-                .flatMap(repository::findById)
-                .map(entity -> updateEntity(product, entity))
-                .orElseThrow(ProductNotFoundException::new);
-        log.info("Start updating product - {}", productEntity);
-        Product saved = save(productEntity);
-        log.info("Product updated successfully - {}", saved);
-        return saved;
+        if (writeBehind.isActive()) {
+            return enqueueUpdate(product);
+        }
+        return transactionTemplate.execute(status -> {
+            ProductEntity productEntity = Optional.ofNullable(product.id())
+                    .flatMap(repository::findById)
+                    .map(entity -> updateEntity(product, entity))
+                    .orElseThrow(ProductNotFoundException::new);
+            log.info("Start updating product - {}", productEntity);
+            Product saved = save(productEntity);
+            log.info("Product updated successfully - {}", saved);
+            return saved;
+        });
     }
 
     public Page<Product> findAll(Pageable pageable) {
         return repository.findAll(pageable)
-                .map(mapper::toModel);
+                .map(mapper::toModel)
+                .map(this::withPendingUpdate);
     }
 
     @Cacheable("product")
     public Optional<Product> findById(Long id) {
-        return repository.findById(id)
-                .map(mapper::toModel);
+        return writeBehind.pending(id)
+                .or(() -> repository.findById(id)
+                        .map(mapper::toModel));
     }
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "product", key = "#product.id"),
+            @CacheEvict(value = "product", key = "#id"),
             @CacheEvict(value = "products", allEntries = true)
     })
     public void delete(Long id) {
         log.info("Start deleting product by id - {}", id);
-        if (!repository.existsById(id)) {
+        writeBehind.discard(id);
+        if (repository.deleteProductById(id) == 0) {
             throw new ProductNotFoundException();
         }
-        repository.deleteById(id);
         log.info("Deleted product by id successfully - {}", id);
     }
 
+    /**
+     * Stored products of {@code category} overlaid with their pending updates: products with a pending
+     * move to another category are left out, products with a pending move into it are added.
+     */
     @Cacheable("products")
     public List<Product> findByCategory(String category) {
-        return repository.findAllByCategory(category)
+        List<Product> stored = repository.findAllByCategory(category)
                 .stream()
                 .map(mapper::toModel)
                 .toList();
+        Set<Long> storedIds = stored.stream()
+                .map(Product::id)
+                .collect(Collectors.toSet());
+        return Stream.concat(
+                        stored.stream().map(this::withPendingUpdate),
+                        writeBehind.pendingInCategory(category).stream()
+                                .filter(pending -> !storedIds.contains(pending.id())))
+                .filter(product -> category.equals(product.category()))
+                .toList();
+    }
+
+    /**
+     * Write-behind path: only loads the product when it has no pending update yet.
+     */
+    private Product enqueueUpdate(Product product) {
+        Product current = Optional.ofNullable(product.id())
+                .flatMap(id -> writeBehind.pending(id)
+                        .or(() -> repository.findById(id)
+                                .map(mapper::toModel)))
+                .orElseThrow(ProductNotFoundException::new);
+        Product pending = writeBehind.enqueue(current, product);
+        log.info("Product update queued - {}", pending);
+        return pending;
+    }
+
+    private Product withPendingUpdate(Product product) {
+        return writeBehind.pending(product.id())
+                .orElse(product);
     }
 
     private Product save(ProductEntity entity) {
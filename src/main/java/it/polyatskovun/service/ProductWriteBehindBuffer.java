@@ -0,0 +1,235 @@
+package it.polyatskovun.service;
+
+import it.polyatskovun.config.WriteBehindProperties;
+import it.polyatskovun.entity.ProductEntity;
+import it.polyatskovun.mapper.ProductMapper;
+import it.polyatskovun.model.Product;
+import it.polyatskovun.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces product updates per id and writes the latest state in batched transactions every
+ * {@code write-behind.flush-interval}. Until flushed, the pending state is what readers see.
+ * Stops after the web server, so the final flush on shutdown covers every accepted update.
+ * Every batch commits in a transaction of its own, also when a caller flushes synchronously.
+ */
+@Slf4j
+@Component
+public class ProductWriteBehindBuffer implements SmartLifecycle {
+
+    private final ProductRepository repository;
+    private final ProductMapper mapper;
+    private final CacheManager cacheManager;
+    private final WriteBehindProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Product> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ProductWriteBehindBuffer(
+            ProductRepository repository,
+            ProductMapper mapper,
+            CacheManager cacheManager,
+            WriteBehindProperties properties,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isActive() {
+        return running;
+    }
+
+    public Optional<Product> pending(Long id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    public List<Product> pendingInCategory(String category) {
+        return pending.values()
+                .stream()
+                .filter(product -> category.equals(product.category()))
+                .toList();
+    }
+
+    /**
+     * Queues {@code update} on top of the pending state of the product, or {@code current} if none.
+     * Null fields of {@code update} keep their previous value. When the category changes, the cached
+     * list of the category the product leaves is evicted.
+     *
+     * @return the merged state that will be written
+     */
+    public Product enqueue(Product current, Product update) {
+        Product merged = pending.compute(current.id(), (id, previous) -> merge(previous != null ? previous : current, update));
+        if (!Objects.equals(current.category(), merged.category())) {
+            evictCategories(Collections.singleton(current.category()));
+        }
+        if (pending.size() >= properties.getMaxPending()) {
+            flush();
+        }
+        return merged;
+    }
+
+    public void discard(Long id) {
+        pending.remove(id);
+    }
+
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map<Long, Product>> batches = batches(new HashMap<>(pending));
+        for (Map<Long, Product> batch : batches) {
+            Set<String> categories;
+            try {
+                categories = transactionTemplate.execute(status -> write(batch));
+            } catch (RuntimeException e) {
+                log.error("Error flushing {} pending products, retrying on next flush", batch.size(), e);
+                continue;
+            }
+            batch.forEach((id, product) -> pending.remove(id, product));
+            evictProducts(batch.keySet());
+            evictCategories(categories);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "product-write-behind"));
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Product write-behind started, flush interval {}", properties.getFlushInterval());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getFlushInterval().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (pending.isEmpty()) {
+            log.info("Product write-behind stopped");
+        } else {
+            log.error("Product write-behind stopped, {} updates could not be flushed and are lost", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * @return the categories the written products left or joined
+     */
+    private Set<String> write(Map<Long, Product> batch) {
+        Set<String> categories = new HashSet<>();
+        List<ProductEntity> entities = repository.findAllById(batch.keySet());
+        entities.forEach(entity -> {
+            Product product = batch.get(entity.getId());
+            categories.add(entity.getCategory());
+            categories.add(product.category());
+            mapper.update(product, entity);
+        });
+        repository.saveAll(entities);
+        log.debug("Flushed {} pending products, {} no longer exist", entities.size(), batch.size() - entities.size());
+        return categories;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Error flushing pending products", e);
+        }
+    }
+
+    private List<Map<Long, Product>> batches(Map<Long, Product> snapshot) {
+        List<Map<Long, Product>> batches = new ArrayList<>();
+        Map<Long, Product> batch = new HashMap<>();
+        for (Map.Entry<Long, Product> entry : snapshot.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == properties.getBatchSize()) {
+                batches.add(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private void evictProducts(Collection<Long> ids) {
+        Cache product = cacheManager.getCache("product");
+        if (product != null) {
+            ids.forEach(product::evict);
+        }
+    }
+
+    private void evictCategories(Collection<String> categories) {
+        Cache products = cacheManager.getCache("products");
+        if (products != null) {
+            categories.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(products::evict);
+        }
+    }
+
+    private static Product merge(Product previous, Product update) {
+        return new Product(
+                previous.id(),
+                update.name() != null ? update.name() : previous.name(),
+                update.description() != null ? update.description() : previous.description(),
+                update.price() != null ? update.price() : previous.price(),
+                update.category() != null ? update.category() : previous.category(),
+                update.stock() != null ? update.stock() : previous.stock(),
+                previous.createdDate(),
+                LocalDateTime.now()
+        );
+    }
+}
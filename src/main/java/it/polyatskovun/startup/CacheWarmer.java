@@ -0,0 +1,98 @@
+package it.polyatskovun.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.polyatskovun.config.StartupProperties;
+import it.polyatskovun.service.ProductService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Preloads the {@code product} and {@code products} caches from the hot-key snapshot. Runs as an
+ * {@link ApplicationRunner} ordered after all others, so it sees data loaded by earlier runners and
+ * readiness is only reported once the warm-up has finished or timed out.
+ * The snapshot is rewritten on shutdown.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class CacheWarmer implements ApplicationRunner {
+
+    private final StartupProperties properties;
+    private final HotKeyTracker tracker;
+    private final ProductService service;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        StartupProperties.Warmup warmup = properties.getWarmup();
+        Path file = Path.of(warmup.getSnapshotFile());
+        if (!warmup.isEnabled() || !Files.isReadable(file)) {
+            return;
+        }
+        HotKeySnapshot snapshot;
+        try {
+            snapshot = objectMapper.readValue(file.toFile(), HotKeySnapshot.class);
+        } catch (IOException e) {
+            log.warn("Hot-key snapshot {} could not be read, skipping warm-up", file, e);
+            return;
+        }
+        log.info("Start warming up caches - {} categories, {} ids", snapshot.categories().size(), snapshot.ids().size());
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(warmup.getParallelism());
+        try {
+            List<CompletableFuture<?>> loads = new ArrayList<>();
+            snapshot.categories().forEach(category ->
+                    loads.add(CompletableFuture.runAsync(() -> service.findByCategory(category), executor)));
+            snapshot.ids().forEach(id ->
+                    loads.add(CompletableFuture.runAsync(() -> service.findById(id), executor)));
+            CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new))
+                    .get(warmup.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Caches warmed up in {} ms", System.currentTimeMillis() - startTime);
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed after {} ms", System.currentTimeMillis() - startTime, e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up timed out after {} ms", System.currentTimeMillis() - startTime);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        StartupProperties.Warmup warmup = properties.getWarmup();
+        HotKeySnapshot snapshot = tracker.snapshot();
+        if (!warmup.isEnabled() || snapshot.isEmpty()) {
+            return;
+        }
+        Path file = Path.of(warmup.getSnapshotFile());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            objectMapper.writeValue(file.toFile(), snapshot);
+            log.info("Hot-key snapshot written to {} - {} categories, {} ids",
+                    file, snapshot.categories().size(), snapshot.ids().size());
+        } catch (IOException e) {
+            log.error("Error writing hot-key snapshot to {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package it.polyatskovun.startup;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+public record HotKeySnapshot(
+        List<Long> ids,
+        List<String> categories
+) {
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return ids.isEmpty() && categories.isEmpty();
+    }
+}
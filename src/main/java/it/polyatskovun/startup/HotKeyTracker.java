@@ -0,0 +1,85 @@
+package it.polyatskovun.startup;
+
+import it.polyatskovun.config.StartupProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts successful reads per product id and per category so the hottest keys can be preloaded
+ * after a restart. Recording is lock-free; once a kind tracks 10% more than {@code maxTrackedKeys}
+ * keys, one caller trims it back to the hottest {@code maxTrackedKeys}, so keys that turn hot late
+ * still make it into the snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotKeyTracker {
+
+    private final StartupProperties properties;
+
+    private final Map<Long, LongAdder> ids = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> categories = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public void recordId(Long id) {
+        record(ids, id);
+    }
+
+    public void recordCategory(String category) {
+        record(categories, category);
+    }
+
+    public HotKeySnapshot snapshot() {
+        StartupProperties.Warmup warmup = properties.getWarmup();
+        return new HotKeySnapshot(top(ids, warmup.getTopIds()), top(categories, warmup.getTopCategories()));
+    }
+
+    private <K> void record(Map<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        if (counter != null) {
+            counter.increment();
+            return;
+        }
+        int maxTrackedKeys = properties.getWarmup().getMaxTrackedKeys();
+        if (maxTrackedKeys <= 0) {
+            return;
+        }
+        counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+        if (counters.size() > maxTrackedKeys + Math.max(1, maxTrackedKeys / 10)) {
+            trim(counters, maxTrackedKeys);
+        }
+    }
+
+    /**
+     * Drops the coldest keys until {@code maxTrackedKeys} are left. Callers arriving while another
+     * one trims skip it instead of waiting.
+     */
+    private <K> void trim(Map<K, LongAdder> counters, int maxTrackedKeys) {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Set<K> hottest = new HashSet<>(top(counters, maxTrackedKeys));
+            counters.keySet().retainAll(hottest);
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private static <K> List<K> top(Map<K, LongAdder> counters, int limit) {
+        return counters.entrySet()
+                .stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<K, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
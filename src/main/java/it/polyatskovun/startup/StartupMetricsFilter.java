@@ -0,0 +1,102 @@
+package it.polyatskovun.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import it.polyatskovun.config.StartupProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports time-to-first-request and time-to-steady-state, both measured from JVM start, together
+ * with the p99 latency once it has settled. Exported as {@code startup.*} gauges; actuator calls
+ * such as readiness probes are not counted. Stops measuring after steady state is reached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupMetricsFilter extends OncePerRequestFilter {
+
+    private final StartupProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong timeToFirstRequest = new AtomicLong(-1);
+    private final AtomicLong timeToSteadyState = new AtomicLong(-1);
+    private final AtomicLong steadyStateP99Nanos = new AtomicLong(-1);
+    private volatile boolean steady;
+
+    private long[] window;
+    private int windowCount;
+    private long previousP99Nanos = -1;
+
+    @PostConstruct
+    public void registerGauges() {
+        window = new long[properties.getSteadyState().getWindow()];
+        TimeGauge.builder("startup.time.to.first.request", timeToFirstRequest, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+        TimeGauge.builder("startup.time.to.steady.state", timeToSteadyState, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+        TimeGauge.builder("startup.steady.state.p99", steadyStateP99Nanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return steady || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    private void record(long nanos) {
+        if (timeToFirstRequest.compareAndSet(-1, sinceJvmStart())) {
+            log.info("Time to first request: {} ms", timeToFirstRequest.get());
+        }
+        synchronized (this) {
+            if (steady) {
+                return;
+            }
+            window[windowCount++] = nanos;
+            if (windowCount < window.length) {
+                return;
+            }
+            windowCount = 0;
+            long[] sorted = window.clone();
+            Arrays.sort(sorted);
+            long p99 = sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+            double tolerance = properties.getSteadyState().getTolerance();
+            if (previousP99Nanos > 0 && Math.abs(p99 - previousP99Nanos) <= tolerance * previousP99Nanos) {
+                timeToSteadyState.set(sinceJvmStart());
+                steadyStateP99Nanos.set(p99);
+                steady = true;
+                log.info("Time to steady state: {} ms, p99: {} ms",
+                        timeToSteadyState.get(), TimeUnit.NANOSECONDS.toMillis(p99));
+            }
+            previousP99Nanos = p99;
+        }
+    }
+
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
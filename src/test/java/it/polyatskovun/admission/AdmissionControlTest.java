@@ -0,0 +1,121 @@
+package it.polyatskovun.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Each test uses its own operations or clients, the limits below are tiny and refill far slower than
+ * a test runs. The {@code getByCategory} route only holds enough tokens for the calls that are admitted
+ * by their client limit.
+ */
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(properties = {
+        "startup.warmup.enabled=false",
+        "admission.client.permits-per-second=0.001",
+        "admission.client.burst=3",
+        "admission.operations[delete].permits-per-second=0.001",
+        "admission.operations[delete].burst=1",
+        "admission.operations[delete].max-concurrent=4",
+        "admission.operations[delete].max-queue-time=10ms",
+        "admission.operations[getByCategory].permits-per-second=0.001",
+        "admission.operations[getByCategory].burst=6",
+        "admission.operations[getByCategory].max-concurrent=4",
+        "admission.operations[getByCategory].max-queue-time=10ms",
+        "admission.operations[getById].permits-per-second=1000",
+        "admission.operations[getById].burst=1000",
+        "admission.operations[getById].max-concurrent=0",
+        "admission.operations[getById].max-queue-time=1ms"
+})
+class AdmissionControlTest {
+
+    private static final String PRODUCTS = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clientLimit_isPerOperation() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(PRODUCTS).with(httpBasic("admin", "admin")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get(PRODUCTS).with(httpBasic("admin", "admin")))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get(PRODUCTS + "/category/Electronics").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk());
+        assertEquals(1.0, outcome("getAll", "client_rate_limited"));
+    }
+
+    @Test
+    void clientLimit_floodOfOneClient_doesNotLimitOthers() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get(PRODUCTS + "/category/Fitness").with(user("alice")))
+                    .andExpect(status().isOk());
+        }
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get(PRODUCTS + "/category/Fitness").with(user("alice")))
+                    .andExpect(status().isTooManyRequests());
+        }
+
+        mockMvc.perform(get(PRODUCTS + "/category/Fitness").with(user("bob")))
+                .andExpect(status().isOk());
+        assertEquals(10.0, outcome("getByCategory", "client_rate_limited"));
+        assertEquals(0.0, outcome("getByCategory", "route_rate_limited"));
+    }
+
+    @Test
+    void routeLimit_returnsTooManyRequests() throws Exception {
+        mockMvc.perform(delete(PRODUCTS + "/" + Long.MAX_VALUE).with(httpBasic("admin", "admin")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete(PRODUCTS + "/" + Long.MAX_VALUE).with(httpBasic("admin", "admin")))
+                .andExpect(status().isTooManyRequests());
+
+        assertEquals(1.0, outcome("delete", "route_rate_limited"));
+    }
+
+    @Test
+    void fullBulkhead_shedsUntilReconfigured() throws Exception {
+        mockMvc.perform(get(PRODUCTS + "/1").with(httpBasic("admin", "admin")))
+                .andExpect(status().isServiceUnavailable());
+        assertEquals(1.0, outcome("getById", "shed"));
+
+        mockMvc.perform(post("/actuator/admission/getById").with(httpBasic("admin", "admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxConcurrent\": 4}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(PRODUCTS + "/1").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void reconfigure_unknownOperation_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/actuator/admission/getByid").with(httpBasic("admin", "admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxConcurrent\": 4}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double outcome(String operation, String outcome) {
+        return meterRegistry.counter("admission.requests", "operation", operation, "outcome", outcome).count();
+    }
+}
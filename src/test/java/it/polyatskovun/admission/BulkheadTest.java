@@ -0,0 +1,27 @@
+package it.polyatskovun.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadTest {
+
+    @Test
+    void tryAcquire_shedsWhenFullAndResizes() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead(1);
+        assertTrue(bulkhead.tryAcquire(Duration.ZERO));
+        assertFalse(bulkhead.tryAcquire(Duration.ofMillis(10)));
+
+        bulkhead.resize(2);
+
+        assertTrue(bulkhead.tryAcquire(Duration.ZERO));
+        assertEquals(2, bulkhead.inFlight());
+        bulkhead.release();
+        bulkhead.release();
+        assertEquals(0, bulkhead.inFlight());
+    }
+}
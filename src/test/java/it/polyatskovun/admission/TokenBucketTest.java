@@ -0,0 +1,39 @@
+package it.polyatskovun.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void tryAcquire_allowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(1, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.tryAcquire());
+        }
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_nonPositiveRate_isUnlimited() {
+        TokenBucket bucket = new TokenBucket(0, 1);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(bucket.tryAcquire());
+        }
+    }
+
+    @Test
+    void reconfigure_disablesLimit() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        bucket.reconfigure(0, 1);
+
+        assertTrue(bucket.tryAcquire());
+    }
+}
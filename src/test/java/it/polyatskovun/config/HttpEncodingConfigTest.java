@@ -0,0 +1,114 @@
+package it.polyatskovun.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import it.polyatskovun.dto.PageResponse;
+import it.polyatskovun.dto.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares payload size and serialization CPU for a page of 1,000 products
+ * between the former JSON {@link Page} response and the negotiated encodings.
+ */
+@Slf4j
+class HttpEncodingConfigTest {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int ITERATIONS = 200;
+
+    private final HttpEncodingConfig config = new HttpEncodingConfig();
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private Page<ProductResponse> page;
+
+    @BeforeEach
+    void setUp() {
+        json = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        smile = config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = LongStream.rangeClosed(1, PRODUCTS)
+                .mapToObj(id -> new ProductResponse(
+                        id, "Product " + id, "Description of product " + id,
+                        BigDecimal.valueOf(id * 137, 2), "Category " + id % 10, (int) id % 500, now, now
+                ))
+                .toList();
+        page = new PageImpl<>(products, PageRequest.of(0, PRODUCTS), PRODUCTS * 5L);
+    }
+
+    @Test
+    void binaryEncodings_roundTripPageEnvelope() throws IOException {
+        PageResponse<ProductResponse> envelope = PageResponse.of(page);
+
+        for (ObjectMapper mapper : List.of(cbor, smile)) {
+            PageResponse<?> read = mapper.readValue(mapper.writeValueAsBytes(envelope), PageResponse.class);
+            assertEquals(PRODUCTS, read.getContent().size());
+            assertEquals(5L * PRODUCTS, read.getTotalElements());
+        }
+    }
+
+    @Test
+    void negotiatedEncodings_areSmallerThanJsonPage() throws IOException {
+        PageResponse<ProductResponse> envelope = PageResponse.of(page);
+
+        int jsonPage = measure("json page (baseline)", json, page);
+        int jsonEnvelope = measure("json envelope", json, envelope);
+        int cborEnvelope = measure("cbor envelope", cbor, envelope);
+        int smileEnvelope = measure("smile envelope", smile, envelope);
+        int gzipJsonEnvelope = gzip(json.writeValueAsBytes(envelope));
+        int gzipSmileEnvelope = gzip(smile.writeValueAsBytes(envelope));
+        log.info("gzip json envelope: {} bytes, gzip smile envelope: {} bytes", gzipJsonEnvelope, gzipSmileEnvelope);
+
+        assertTrue(jsonEnvelope < jsonPage);
+        assertTrue(cborEnvelope < jsonEnvelope);
+        assertTrue(smileEnvelope < jsonEnvelope);
+        assertTrue(gzipJsonEnvelope < jsonEnvelope);
+    }
+
+    private int measure(String name, ObjectMapper mapper, Object value) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        long cpuMicros = (threads.getCurrentThreadCpuTime() - start) / ITERATIONS / 1_000;
+        log.info("{}: {} bytes, {} us CPU per {} products", name, bytes.length, cpuMicros, PRODUCTS);
+        return bytes.length;
+    }
+
+    private int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
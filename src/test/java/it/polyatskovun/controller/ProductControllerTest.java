@@ -0,0 +1,183 @@
+package it.polyatskovun.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.polyatskovun.dto.CreateProductRequest;
+import it.polyatskovun.dto.UpdateProductRequest;
+import it.polyatskovun.entity.ProductEntity;
+import it.polyatskovun.repository.ProductRepository;
+import it.polyatskovun.support.QueryCount;
+import it.polyatskovun.support.QueryCountConfig;
+import it.polyatskovun.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import static it.polyatskovun.support.QueryBudgets.assertWithinBudget;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "startup.warmup.enabled=false")
+@AutoConfigureMockMvc
+@Import(QueryCountConfig.class)
+class ProductControllerTest {
+
+    private static final String PRODUCTS = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames()
+                .forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+
+    @Test
+    void getAll_withinBudget() throws Exception {
+        QueryCount count = queryCounter.measure(() -> mockMvc.perform(get(PRODUCTS).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(10))
+                .andExpect(jsonPath("$.pageable").doesNotExist()));
+
+        assertWithinBudget("getAll", count);
+    }
+
+    @Test
+    void getAll_acceptCbor_returnsCbor() throws Exception {
+        mockMvc.perform(get(PRODUCTS).accept(MediaType.APPLICATION_CBOR).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void getAll_acceptSmile_returnsSmile() throws Exception {
+        mockMvc.perform(get(PRODUCTS).accept("application/x-jackson-smile").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"));
+    }
+
+    @Test
+    void getAll_acceptAny_returnsJson() throws Exception {
+        mockMvc.perform(get(PRODUCTS).accept(MediaType.ALL).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void getAll_sizeAboveLimit_returnsBadRequest() throws Exception {
+        mockMvc.perform(get(PRODUCTS).param("size", "1000").with(httpBasic("admin", "admin")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAll_invalidPaging_returnsBadRequest() throws Exception {
+        mockMvc.perform(get(PRODUCTS).param("size", "0").with(httpBasic("admin", "admin")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(PRODUCTS).param("page", "-1").with(httpBasic("admin", "admin")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getById_withinBudgetAndCached() throws Exception {
+        Long id = saveProduct().getId();
+
+        QueryCount first = queryCounter.measure(() -> mockMvc.perform(get(PRODUCTS + "/" + id).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk()));
+        QueryCount second = queryCounter.measure(() -> mockMvc.perform(get(PRODUCTS + "/" + id).with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk()));
+
+        assertWithinBudget("getById", first);
+        second.assertTotal(0);
+    }
+
+    @Test
+    void create_withinBudget() throws Exception {
+        CreateProductRequest request = CreateProductRequest.builder()
+                .name("Created").price(BigDecimal.ONE).category("Budget").stock(1)
+                .build();
+
+        QueryCount count = queryCounter.measure(() -> mockMvc.perform(post(PRODUCTS).with(httpBasic("admin", "admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk()));
+
+        assertWithinBudget("create", count);
+    }
+
+    @Test
+    void update_withinBudget() throws Exception {
+        Long id = saveProduct().getId();
+        UpdateProductRequest request = UpdateProductRequest.builder()
+                .id(id).name("Updated").price(BigDecimal.TEN).category("Budget").stock(2)
+                .build();
+
+        QueryCount count = queryCounter.measure(() -> mockMvc.perform(put(PRODUCTS + "/" + id).with(httpBasic("admin", "admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk()));
+
+        assertWithinBudget("update", count);
+    }
+
+    @Test
+    void delete_existing_issuesSingleDelete() throws Exception {
+        Long id = saveProduct().getId();
+
+        QueryCount count = queryCounter.measure(() -> mockMvc.perform(delete(PRODUCTS + "/" + id).with(httpBasic("admin", "admin")))
+                .andExpect(status().isNoContent()));
+
+        assertWithinBudget("delete", count);
+        count.assertCount(QueryCounter.Type.DELETE, 1).assertTotal(1);
+        assertFalse(repository.existsById(id));
+    }
+
+    @Test
+    void delete_nonExisting_returnsNotFoundWithinBudget() throws Exception {
+        QueryCount count = queryCounter.measure(() -> mockMvc.perform(delete(PRODUCTS + "/" + Long.MAX_VALUE).with(httpBasic("admin", "admin")))
+                .andExpect(status().isNotFound()));
+
+        assertWithinBudget("delete", count);
+    }
+
+    @Test
+    void getByCategory_withinBudget() throws Exception {
+        QueryCount count = queryCounter.measure(() -> mockMvc.perform(get(PRODUCTS + "/category/Electronics").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk()));
+
+        assertWithinBudget("getByCategory", count);
+    }
+
+    private ProductEntity saveProduct() {
+        return repository.save(ProductEntity.builder()
+                .name("Budget").price(BigDecimal.ONE).category("Budget").stock(1)
+                .build());
+    }
+}
@@ -0,0 +1,130 @@
+package it.polyatskovun.repository;
+
+import it.polyatskovun.scale.ProductDataGenerator;
+import it.polyatskovun.support.QueryCountConfig;
+import it.polyatskovun.support.QueryCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records query plans and latency of every {@link ProductRepository} query while the products
+ * table grows through {@code scale.steps} rows. The plans are those of the SQL Hibernate actually
+ * issues, captured by {@link QueryCounter}. Runs only with {@code mvn -Pscale verify};
+ * the report is written to {@code target/scale-report.md}. The database file under
+ * {@code target/scale} is kept, so later runs only generate missing rows.
+ */
+@Slf4j
+@ActiveProfiles("scale")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/scale/products;DB_CLOSE_ON_EXIT=FALSE",
+        "scale.rows=0"
+})
+@Import(QueryCountConfig.class)
+class ProductRepositoryScaleIT {
+
+    private static final String HOT_CATEGORY = "Category-000";
+    private static final String COLD_CATEGORY = "Category-199";
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ProductDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${scale.steps:10000,100000,1000000}")
+    private long[] steps;
+
+    @Value("${scale.iterations:20}")
+    private int iterations;
+
+    @Test
+    void recordPlansAndLatency() throws Exception {
+        StringBuilder report = new StringBuilder("| rows | query | p50 ms | p99 ms | plan |\n|---|---|---|---|---|\n");
+        for (long rows : steps) {
+            generator.generate(rows);
+            jdbcTemplate.execute("ANALYZE");
+            long deepPage = rows * 9 / 10 / PAGE_SIZE;
+
+            measure(report, rows, "findAll first page",
+                    () -> repository.findAll(PageRequest.of(0, PAGE_SIZE)), 0, PAGE_SIZE);
+            measure(report, rows, "findAll deep page",
+                    () -> repository.findAll(PageRequest.of((int) deepPage, PAGE_SIZE)), deepPage * PAGE_SIZE, PAGE_SIZE);
+            measure(report, rows, "count", repository::count);
+            String byId = measure(report, rows, "findById",
+                    () -> repository.findById(rows / 2), rows / 2);
+            measure(report, rows, "findAllByCategory hot",
+                    () -> repository.findAllByCategory(HOT_CATEGORY), HOT_CATEGORY);
+            String coldCategory = measure(report, rows, "findAllByCategory cold",
+                    () -> repository.findAllByCategory(COLD_CATEGORY), COLD_CATEGORY);
+            measure(report, rows, "deleteProductById missing",
+                    () -> transactionTemplate.execute(status -> repository.deleteProductById(-1L)), -1L);
+
+            assertTrue(byId.contains("PRIMARY_KEY"), byId);
+            assertTrue(coldCategory.contains("IDX_PRODUCTS_CATEGORY"), coldCategory);
+        }
+        Path file = Path.of("target", "scale-report.md");
+        Files.writeString(file, report);
+        log.info("Scale report written to {}\n{}", file.toAbsolutePath(), report);
+    }
+
+    /**
+     * Explains every statement Hibernate issues for {@code query} and records its latency.
+     * A statement with {@code n} parameters is bound to the last {@code n} of {@code args}, which
+     * covers Hibernate leaving out the offset of a first page.
+     *
+     * @return the plans of all statements, on one line
+     */
+    private String measure(StringBuilder report, long rows, String name, Runnable query, Object... args) throws Exception {
+        List<String> statements = queryCounter.measure(query::run).statements();
+        assertFalse(statements.isEmpty(), () -> name + " issued no statement");
+        StringJoiner plans = new StringJoiner(" ; ");
+        for (String sql : statements) {
+            int parameters = (int) sql.chars().filter(c -> c == '?').count();
+            Object[] bound = Arrays.copyOfRange(args, args.length - parameters, args.length);
+            String plan = jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, String.class, bound);
+            plans.add(plan == null ? "" : plan.replaceAll("\\s+", " "));
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        report.append(String.format("| %d | %s | %.2f | %.2f | `%s` |%n",
+                rows, name, millis(nanos, 0.5), millis(nanos, 0.99), plans));
+        return plans.toString();
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
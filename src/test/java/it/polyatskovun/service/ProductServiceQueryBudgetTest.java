@@ -0,0 +1,106 @@
+package it.polyatskovun.service;
+
+import it.polyatskovun.entity.ProductEntity;
+import it.polyatskovun.exception.ProductNotFoundException;
+import it.polyatskovun.model.Product;
+import it.polyatskovun.repository.ProductRepository;
+import it.polyatskovun.support.QueryCount;
+import it.polyatskovun.support.QueryCountConfig;
+import it.polyatskovun.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import static it.polyatskovun.support.QueryBudgets.assertWithinBudget;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Holds {@link ProductService} calls to the SQL statement budgets in {@code query-budgets.properties}.
+ * Unlike the Mockito checks in {@link ProductServiceTest}, this sees statements a single repository
+ * call issues implicitly, such as the select behind {@code deleteById}.
+ */
+@SpringBootTest(properties = "startup.warmup.enabled=false")
+@Import(QueryCountConfig.class)
+class ProductServiceQueryBudgetTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames()
+                .forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+
+    @Test
+    void create_withinBudget() throws Exception {
+        Product product = new Product(null, "Budget", null, BigDecimal.ONE, "Budget", 1, null, null);
+
+        assertWithinBudget("service.create", queryCounter.measure(() -> service.create(product)));
+    }
+
+    @Test
+    void update_withinBudget() throws Exception {
+        Long id = saveProduct().getId();
+        Product product = new Product(id, "Updated", null, BigDecimal.TEN, "Budget", 2, null, null);
+
+        assertWithinBudget("service.update", queryCounter.measure(() -> service.update(product)));
+    }
+
+    @Test
+    void findAll_withinBudget() throws Exception {
+        assertWithinBudget("service.findAll", queryCounter.measure(() -> service.findAll(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void findById_withinBudget() throws Exception {
+        Long id = saveProduct().getId();
+
+        assertWithinBudget("service.findById", queryCounter.measure(() -> service.findById(id)));
+    }
+
+    @Test
+    void delete_existing_issuesSingleDelete() throws Exception {
+        Long id = saveProduct().getId();
+
+        QueryCount count = queryCounter.measure(() -> service.delete(id));
+
+        assertWithinBudget("service.delete", count);
+        count.assertTotal(1);
+    }
+
+    @Test
+    void delete_nonExisting_withinBudget() throws Exception {
+        QueryCount count = queryCounter.measure(() ->
+                assertThrows(ProductNotFoundException.class, () -> service.delete(Long.MAX_VALUE)));
+
+        assertWithinBudget("service.delete", count);
+    }
+
+    @Test
+    void findByCategory_withinBudget() throws Exception {
+        assertWithinBudget("service.findByCategory", queryCounter.measure(() -> service.findByCategory("Electronics")));
+    }
+
+    private ProductEntity saveProduct() {
+        return repository.save(ProductEntity.builder()
+                .name("Budget").price(BigDecimal.ONE).category("Budget").stock(1)
+                .build());
+    }
+}
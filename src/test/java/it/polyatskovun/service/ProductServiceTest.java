@@ -11,10 +11,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,11 +29,16 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+/**
+ * Pins repository calls per service method. Statement budgets are enforced by
+ * {@link ProductServiceQueryBudgetTest}.
+ */
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
 
@@ -40,6 +48,12 @@ class ProductServiceTest {
     @Mock
     private ProductMapper mapper;
 
+    @Mock
+    private ProductWriteBehindBuffer writeBehind;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ProductService service;
 
@@ -75,6 +89,7 @@ class ProductServiceTest {
 
         assertEquals(newProduct, result);
         verify(repository).save(entity);
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
@@ -97,6 +112,28 @@ class ProductServiceTest {
         assertEquals(product, result);
         verify(repository).findById(1L);
         verify(repository).save(existingEntity);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void update_writeBehindWithPendingUpdate_queuesWithoutRoundTrip() {
+        when(writeBehind.isActive()).thenReturn(true);
+        when(writeBehind.pending(1L)).thenReturn(Optional.of(product));
+        when(writeBehind.enqueue(product, product)).thenReturn(product);
+
+        Product result = service.update(product);
+
+        assertEquals(product, result);
+        verifyNoInteractions(repository);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void findById_pendingUpdate_returnsPendingState() {
+        when(writeBehind.pending(1L)).thenReturn(Optional.of(product));
+
+        assertEquals(Optional.of(product), service.findById(1L));
+        verifyNoInteractions(repository);
     }
 
     @Test
@@ -116,6 +153,8 @@ class ProductServiceTest {
 
         assertEquals(1, result.getTotalElements());
         assertEquals(product, result.getContent().get(0));
+        verify(repository).findAll(PageRequest.of(0, 10));
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
@@ -126,6 +165,8 @@ class ProductServiceTest {
         Optional<Product> result = service.findById(1L);
         assertTrue(result.isPresent());
         assertEquals(product, result.get());
+        verify(repository).findById(1L);
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
@@ -136,17 +177,18 @@ class ProductServiceTest {
 
     @Test
     void delete_existing_callsRepository() {
-        when(repository.existsById(1L)).thenReturn(true);
-        doNothing().when(repository).deleteById(1L);
+        when(repository.deleteProductById(1L)).thenReturn(1);
 
         assertDoesNotThrow(() -> service.delete(1L));
-        verify(repository).deleteById(1L);
+        verify(repository).deleteProductById(1L);
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
     void delete_nonExisting_throwsNotFound() {
-        when(repository.existsById(1L)).thenReturn(false);
+        when(repository.deleteProductById(1L)).thenReturn(0);
         assertThrows(ProductNotFoundException.class, () -> service.delete(1L));
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
@@ -159,5 +201,24 @@ class ProductServiceTest {
         List<Product> result = service.findByCategory("Cat");
         assertEquals(1, result.size());
         assertEquals(product, result.get(0));
+        verify(repository).findAllByCategory("Cat");
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void findByCategory_pendingCategoryMoves_overlaysMoves() {
+        Product movedOut = new Product(1L, "Name", "Desc", BigDecimal.TEN, "Other", 5, null, null);
+        Product stays = new Product(2L, "Name", "Desc", BigDecimal.TEN, "Cat", 5, null, null);
+        Product movedIn = new Product(3L, "Name", "Desc", BigDecimal.TEN, "Cat", 5, null, null);
+        ProductEntity stayingEntity = new ProductEntity();
+        when(repository.findAllByCategory("Cat")).thenReturn(List.of(entity, stayingEntity));
+        when(mapper.toModel(entity)).thenReturn(product);
+        when(mapper.toModel(stayingEntity)).thenReturn(stays);
+        when(writeBehind.pending(1L)).thenReturn(Optional.of(movedOut));
+        when(writeBehind.pendingInCategory("Cat")).thenReturn(List.of(movedIn));
+
+        List<Product> result = service.findByCategory("Cat");
+
+        assertEquals(List.of(stays, movedIn), result);
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package it.polyatskovun.service;
+
+import it.polyatskovun.entity.ProductEntity;
+import it.polyatskovun.model.Product;
+import it.polyatskovun.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads through the caches while an update is still pending. The flush interval is long enough
+ * that only the explicit {@link ProductWriteBehindBuffer#flush()} writes.
+ */
+@SpringBootTest(properties = {
+        "startup.warmup.enabled=false",
+        "write-behind.enabled=true",
+        "write-behind.flush-interval=1h"
+})
+class ProductServiceWriteBehindTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ProductWriteBehindBuffer writeBehind;
+
+    @Test
+    void update_pending_isVisibleThroughCachesUntilAndAfterFlush() {
+        Long id = repository.save(ProductEntity.builder()
+                .name("Before").price(BigDecimal.ONE).category("Before").stock(1)
+                .build()).getId();
+        assertEquals("Before", service.findById(id).orElseThrow().name());
+        assertTrue(containsProduct("Before", id));
+
+        service.update(new Product(id, "After", null, BigDecimal.TEN, "After", null, null, null));
+
+        Product pending = service.findById(id).orElseThrow();
+        assertEquals("After", pending.name());
+        assertEquals(BigDecimal.TEN, pending.price());
+        assertFalse(containsProduct("Before", id));
+        assertTrue(containsProduct("After", id));
+        assertEquals("Before", repository.findById(id).orElseThrow().getCategory());
+
+        writeBehind.flush();
+
+        assertEquals("After", repository.findById(id).orElseThrow().getCategory());
+        assertEquals("After", service.findById(id).orElseThrow().name());
+        assertFalse(containsProduct("Before", id));
+        assertTrue(containsProduct("After", id));
+    }
+
+    private boolean containsProduct(String category, Long id) {
+        return service.findByCategory(category)
+                .stream()
+                .anyMatch(product -> product.id().equals(id));
+    }
+}
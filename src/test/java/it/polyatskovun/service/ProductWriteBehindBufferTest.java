@@ -0,0 +1,188 @@
+package it.polyatskovun.service;
+
+import it.polyatskovun.config.WriteBehindProperties;
+import it.polyatskovun.entity.ProductEntity;
+import it.polyatskovun.mapper.ProductMapper;
+import it.polyatskovun.model.Product;
+import it.polyatskovun.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductWriteBehindBufferTest {
+
+    @Mock
+    private ProductRepository repository;
+
+    @Mock
+    private ProductMapper mapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WriteBehindProperties properties;
+    private CacheManager cacheManager;
+    private ProductWriteBehindBuffer buffer;
+    private Product current;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WriteBehindProperties();
+        cacheManager = new ConcurrentMapCacheManager();
+        buffer = new ProductWriteBehindBuffer(
+                repository, mapper, cacheManager, properties, transactionManager
+        );
+        current = new Product(
+                1L, "Name", "Desc", BigDecimal.TEN,
+                "Cat", 5, LocalDateTime.now(), LocalDateTime.now()
+        );
+    }
+
+    @Test
+    void enqueue_mergesUpdatesPerId() {
+        buffer.enqueue(current, new Product(1L, "Name", null, BigDecimal.ONE, "Cat", 4, null, null));
+        Product merged = buffer.enqueue(current, new Product(1L, "Name", null, null, "Cat", 3, null, null));
+
+        assertEquals(BigDecimal.ONE, merged.price());
+        assertEquals(3, merged.stock());
+        assertEquals("Desc", merged.description());
+        assertEquals(current.createdDate(), merged.createdDate());
+        assertEquals(merged, buffer.pending(1L).orElseThrow());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void flush_writesLatestStateOnceAndClearsPending() {
+        ProductEntity entity = ProductEntity.builder().id(1L).build();
+        when(repository.findAllById(Set.of(1L))).thenReturn(List.of(entity));
+        buffer.enqueue(current, new Product(1L, "Name", null, BigDecimal.ONE, "Cat", 4, null, null));
+        Product latest = buffer.enqueue(current, new Product(1L, "Name", null, BigDecimal.ONE, "Cat", 3, null, null));
+
+        buffer.flush();
+
+        verify(mapper, times(1)).update(latest, entity);
+        verify(repository).saveAll(List.of(entity));
+        assertTrue(buffer.pending(1L).isEmpty());
+    }
+
+    @Test
+    void enqueue_categoryMove_evictsPreviousCategory() {
+        Cache products = cacheManager.getCache("products");
+        products.put("Cat", List.of(current));
+        products.put("Other", List.of());
+
+        buffer.enqueue(current, new Product(1L, null, null, null, "New", null, null, null));
+
+        assertNull(products.get("Cat"));
+        assertNotNull(products.get("Other"));
+    }
+
+    @Test
+    void flush_evictsOnlyLeftAndJoinedCategories() {
+        ProductEntity entity = ProductEntity.builder().id(1L).category("Cat").build();
+        when(repository.findAllById(Set.of(1L))).thenReturn(List.of(entity));
+        buffer.enqueue(current, new Product(1L, null, null, null, "New", null, null, null));
+        Cache products = cacheManager.getCache("products");
+        products.put("Cat", List.of());
+        products.put("New", List.of());
+        products.put("Other", List.of());
+        cacheManager.getCache("product").put(1L, current);
+
+        buffer.flush();
+
+        assertNull(products.get("Cat"));
+        assertNull(products.get("New"));
+        assertNotNull(products.get("Other"));
+        assertNull(cacheManager.getCache("product").get(1L));
+    }
+
+    @Test
+    void pendingInCategory_returnsProductsMovedIntoCategory() {
+        Product moved = buffer.enqueue(current, new Product(1L, null, null, null, "New", null, null, null));
+
+        assertEquals(List.of(moved), buffer.pendingInCategory("New"));
+        assertTrue(buffer.pendingInCategory("Cat").isEmpty());
+    }
+
+    @Test
+    void enqueue_maxPendingReached_flushesInOwnTransaction() {
+        properties.setMaxPending(2);
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        Product other = new Product(2L, "Other", null, BigDecimal.ONE, "Cat", 1, null, null);
+        ProductEntity entity = ProductEntity.builder().id(1L).category("Cat").build();
+        ProductEntity otherEntity = ProductEntity.builder().id(2L).category("Cat").build();
+        when(repository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(entity, otherEntity));
+
+        buffer.enqueue(current, current);
+        verify(repository, never()).findAllById(any());
+        buffer.enqueue(other, other);
+
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(status);
+        verify(repository).saveAll(List.of(entity, otherEntity));
+        assertTrue(buffer.pending(1L).isEmpty());
+        assertTrue(buffer.pending(2L).isEmpty());
+    }
+
+    @Test
+    void flush_failure_keepsPendingForRetry() {
+        when(repository.findAllById(Set.of(1L))).thenThrow(new IllegalStateException("database down"));
+        buffer.enqueue(current, current);
+
+        buffer.flush();
+
+        assertTrue(buffer.pending(1L).isPresent());
+    }
+
+    @Test
+    void discard_dropsPendingUpdate() {
+        buffer.enqueue(current, current);
+
+        buffer.discard(1L);
+
+        assertFalse(buffer.pending(1L).isPresent());
+    }
+
+    @Test
+    void stop_flushesPendingUpdates() {
+        properties.setEnabled(true);
+        when(repository.findAllById(Set.of(1L))).thenReturn(List.of());
+        buffer.start();
+        buffer.enqueue(current, current);
+
+        buffer.stop();
+
+        assertFalse(buffer.isActive());
+        verify(repository).findAllById(Set.of(1L));
+        assertTrue(buffer.pending(1L).isEmpty());
+    }
+}
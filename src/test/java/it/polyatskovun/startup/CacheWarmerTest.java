@@ -0,0 +1,89 @@
+package it.polyatskovun.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.polyatskovun.config.StartupProperties;
+import it.polyatskovun.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private ProductService service;
+
+    @TempDir
+    private Path directory;
+
+    private StartupProperties properties;
+    private HotKeyTracker tracker;
+    private CacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StartupProperties();
+        properties.getWarmup().setSnapshotFile(directory.resolve("hot-keys.json").toString());
+        tracker = new HotKeyTracker(properties);
+        warmer = new CacheWarmer(properties, tracker, service, new ObjectMapper());
+    }
+
+    @Test
+    void writeSnapshot_thenRun_loadsHotKeys() throws Exception {
+        tracker.recordId(1L);
+        tracker.recordId(2L);
+        tracker.recordCategory("Electronics");
+
+        warmer.writeSnapshot();
+        warmer.run(new DefaultApplicationArguments());
+
+        verify(service).findById(1L);
+        verify(service).findById(2L);
+        verify(service).findByCategory("Electronics");
+    }
+
+    @Test
+    void writeSnapshot_noReads_writesNothing() {
+        warmer.writeSnapshot();
+
+        assertFalse(Files.exists(Path.of(properties.getWarmup().getSnapshotFile())));
+    }
+
+    @Test
+    void run_noSnapshot_skipsWarmUp() throws Exception {
+        warmer.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void run_slowLoad_givesUpAfterTimeout() throws Exception {
+        properties.getWarmup().setTimeout(Duration.ofMillis(100));
+        tracker.recordId(1L);
+        warmer.writeSnapshot();
+        CountDownLatch never = new CountDownLatch(1);
+        when(service.findById(1L)).thenAnswer(invocation -> {
+            never.await();
+            return Optional.empty();
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> warmer.run(new DefaultApplicationArguments()));
+    }
+}
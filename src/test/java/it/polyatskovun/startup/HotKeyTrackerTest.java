@@ -0,0 +1,59 @@
+package it.polyatskovun.startup;
+
+import it.polyatskovun.config.StartupProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HotKeyTrackerTest {
+
+    private StartupProperties properties;
+    private HotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StartupProperties();
+        properties.getWarmup().setTopIds(2);
+        properties.getWarmup().setTopCategories(1);
+        tracker = new HotKeyTracker(properties);
+    }
+
+    @Test
+    void snapshot_returnsHottestKeysFirst() {
+        tracker.recordId(1L);
+        tracker.recordId(2L);
+        tracker.recordId(2L);
+        tracker.recordId(3L);
+        tracker.recordId(3L);
+        tracker.recordId(3L);
+        tracker.recordCategory("Cold");
+        tracker.recordCategory("Hot");
+        tracker.recordCategory("Hot");
+
+        HotKeySnapshot snapshot = tracker.snapshot();
+
+        assertEquals(List.of(3L, 2L), snapshot.ids());
+        assertEquals(List.of("Hot"), snapshot.categories());
+    }
+
+    @Test
+    void record_aboveLimit_trimsColdestKeys() {
+        properties.getWarmup().setMaxTrackedKeys(2);
+        properties.getWarmup().setTopIds(10);
+
+        tracker.recordId(1L);
+        tracker.recordId(1L);
+        tracker.recordId(1L);
+        tracker.recordId(2L);
+        tracker.recordId(3L);
+        tracker.recordId(3L);
+        tracker.recordId(3L);
+        tracker.recordId(3L);
+        tracker.recordId(4L);
+
+        assertEquals(List.of(3L, 1L), tracker.snapshot().ids());
+    }
+}
@@ -0,0 +1,68 @@
+package it.polyatskovun.startup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.polyatskovun.config.StartupProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StartupMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        StartupProperties properties = new StartupProperties();
+        properties.getSteadyState().setWindow(2);
+        properties.getSteadyState().setTolerance(1_000);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StartupMetricsFilter(properties, meterRegistry);
+        filter.registerGauges();
+    }
+
+    @Test
+    void firstRequest_setsTimeToFirstRequestOnly() throws Exception {
+        request("/api/v1/products");
+
+        assertTrue(gauge("startup.time.to.first.request") >= 0);
+        assertTrue(gauge("startup.time.to.steady.state") < 0);
+    }
+
+    @Test
+    void twoStableWindows_reachSteadyState() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            request("/api/v1/products");
+        }
+        assertTrue(gauge("startup.time.to.steady.state") < 0);
+
+        request("/api/v1/products");
+
+        assertTrue(gauge("startup.time.to.steady.state") >= 0);
+        assertTrue(gauge("startup.steady.state.p99") > 0);
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1/products")));
+    }
+
+    @Test
+    void actuatorRequests_areNotCounted() throws Exception {
+        request("/actuator/health/readiness");
+
+        assertTrue(gauge("startup.time.to.first.request") < 0);
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/v1/products")));
+    }
+
+    private void request(String uri) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,50 @@
+package it.polyatskovun.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Per-endpoint statement budgets from {@code query-budgets.properties}. Keys are
+ * {@code <endpoint>.<type>}; a type that is not listed has a budget of 0.
+ */
+public final class QueryBudgets {
+
+    private static final String FILE = "/query-budgets.properties";
+    private static final Properties BUDGETS = load();
+
+    private QueryBudgets() {
+    }
+
+    public static int budget(String endpoint, QueryCounter.Type type) {
+        return Integer.parseInt(BUDGETS.getProperty(endpoint + "." + type.name().toLowerCase(Locale.ROOT), "0"));
+    }
+
+    public static void assertWithinBudget(String endpoint, QueryCount actual) {
+        StringBuilder exceeded = new StringBuilder();
+        for (QueryCounter.Type type : QueryCounter.Type.values()) {
+            int budget = budget(endpoint, type);
+            if (actual.count(type) > budget) {
+                exceeded.append(String.format(" %s: %d > %d;", type, actual.count(type), budget));
+            }
+        }
+        if (!exceeded.isEmpty()) {
+            fail("Query budget of " + endpoint + " exceeded:" + exceeded + " statements: " + actual.statements());
+        }
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = Objects.requireNonNull(QueryBudgets.class.getResourceAsStream(FILE), FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,27 @@
+package it.polyatskovun.support;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public record QueryCount(Map<QueryCounter.Type, Integer> counts, List<String> statements) {
+
+    public int count(QueryCounter.Type type) {
+        return counts.getOrDefault(type, 0);
+    }
+
+    public int total() {
+        return statements.size();
+    }
+
+    public QueryCount assertCount(QueryCounter.Type type, int expected) {
+        assertEquals(expected, count(type), () -> "Unexpected " + type + " count, statements: " + statements);
+        return this;
+    }
+
+    public QueryCount assertTotal(int expected) {
+        assertEquals(expected, total(), () -> "Unexpected statement count, statements: " + statements);
+        return this;
+    }
+}
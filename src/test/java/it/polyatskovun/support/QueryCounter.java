@@ -0,0 +1,72 @@
+package it.polyatskovun.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts every SQL statement Hibernate prepares, by type. A JDBC batch is prepared once,
+ * so it is counted as one round trip.
+ */
+public class QueryCounter implements StatementInspector {
+
+    public enum Type {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    /**
+     * Runs {@code action} - a request or a service call - and returns the statements it issued.
+     */
+    public QueryCount measure(ThrowingRunnable action) throws Exception {
+        reset();
+        action.run();
+        return snapshot();
+    }
+
+    public QueryCount snapshot() {
+        synchronized (statements) {
+            Map<Type, Integer> counts = new EnumMap<>(Type.class);
+            statements.forEach(sql -> counts.merge(typeOf(sql), 1, Integer::sum));
+            return new QueryCount(counts, List.copyOf(statements));
+        }
+    }
+
+    static Type typeOf(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (statement.startsWith("select") || statement.startsWith("with")) {
+            return Type.SELECT;
+        }
+        if (statement.startsWith("insert")) {
+            return Type.INSERT;
+        }
+        if (statement.startsWith("update")) {
+            return Type.UPDATE;
+        }
+        if (statement.startsWith("delete")) {
+            return Type.DELETE;
+        }
+        return Type.OTHER;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}